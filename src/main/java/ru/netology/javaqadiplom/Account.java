@@ -3,6 +3,24 @@ package ru.netology.javaqadiplom;
 public class Account {
     protected int balance;
     protected int rate;
+    protected final int currency;
+
+    public Account() {
+        this(0);
+    }
+
+    /**
+     * Создаёт счёт в заданной валюте. Валюта счёта после создания не меняется.
+     * @param currency - неотрицательное число, номер валюты из таблицы курсов FxRates
+     */
+    protected Account(int currency) {
+        if (currency < 0) {
+            throw new IllegalArgumentException(
+                    "Номер валюты не может быть отрицательным, а у вас: " + currency
+            );
+        }
+        this.currency = currency;
+    }
 
     public boolean pay(int amount) {
         return false;
@@ -27,4 +45,8 @@ public class Account {
     public void setRate(int rate) {
         this.rate = rate;
     }
+
+    public int getCurrency() {
+        return currency;
+    }
 }
@@ -1,6 +1,31 @@
 package ru.netology.javaqadiplom;
 
 public class Bank {
+    protected final VelocityLimiter limiter;
+    protected final TransferHistory history;
+    protected volatile FxRates fxRates;
+
+    public Bank() {
+        this(null, null);
+    }
+
+    /**
+     * Создаёт банк с проверкой частоты списаний перед каждым переводом.
+     * @param limiter - ограничитель частоты списаний, может быть null
+     */
+    public Bank(VelocityLimiter limiter) {
+        this(limiter, null);
+    }
+
+    /**
+     * Создаёт банк с проверкой частоты списаний и записью каждого перевода в историю.
+     * @param limiter - ограничитель частоты списаний, может быть null
+     * @param history - история переводов, может быть null
+     */
+    public Bank(VelocityLimiter limiter, TransferHistory history) {
+        this.limiter = limiter;
+        this.history = history;
+    }
 
     /**
      * Операция перевода указанной суммы с одного счёта на другой.
@@ -8,6 +33,20 @@ public class Bank {
      * уменьшиться на эту сумму, а баланс счёта to увеличиться.
      * Если операция прошла неуспешно, балансы обоих счетов никак
      * измениться не должны.
+     * Если задан ограничитель частоты списаний и перевод превышает его лимиты,
+     * то перевод не выполняется.
+     * Если счёт to отказал в пополнении, то списание со счёта from возвращается
+     * и перевод не выполняется.
+     * Валюта 0 - базовая и известна всегда, остальные валюты известны только
+     * по текущей таблице курсов. Если валюта хотя бы одного из счетов неизвестна
+     * (в том числе если таблица не задана), то перевод не выполняется.
+     * Если счета в разных валютах, то на счёт to зачисляется сумма, пересчитанная
+     * по таблице курсов. Если сумму не удаётся пересчитать (в том числе если она
+     * округляется до нуля), то перевод не выполняется.
+     * Лимит суммы ограничителя всегда считается в базовой валюте.
+     * Если задана история переводов, то в неё записывается итог каждого перевода,
+     * прошедшего проверку суммы и пересчёт валюты, с суммой в валюте from
+     * и суммой зачисления в валюте to.
      * @param from - счёт с которого переводим
      * @param to - счёт на который переводим
      * @param amount - сумма перевода
@@ -17,9 +56,74 @@ public class Bank {
         if (amount <= 0) {
             return false;
         }
+        FxRates rates = fxRates;
+        if (!isKnown(rates, from.getCurrency()) || !isKnown(rates, to.getCurrency())) {
+            return false;
+        }
+        int credited = amount;
+        if (from.getCurrency() != to.getCurrency()) {
+            credited = rates.convert(amount, from.getCurrency(), to.getCurrency());
+            if (credited <= 0) {
+                return false;
+            }
+        }
+        long epoch = 0;
+        long limited = from.getCurrency() == 0 ? amount : rates.toBase(amount, from.getCurrency());
+        if (limiter != null) {
+            epoch = limiter.acquire(from, limited);
+            if (epoch == VelocityLimiter.REJECTED) {
+                record(from, to, amount, credited, TransferRecord.Status.REJECTED_BY_LIMIT);
+                return false;
+            }
+        }
         if (from.pay(amount)) {
-            to.add(amount);
+            if (!to.add(credited)) {
+                from.add(amount);
+                if (limiter != null) {
+                    limiter.release(from, limited, epoch);
+                }
+                record(from, to, amount, credited, TransferRecord.Status.REJECTED_ADD);
+                return false;
+            }
+            record(from, to, amount, credited, TransferRecord.Status.COMPLETED);
+        } else {
+            if (limiter != null) {
+                limiter.release(from, limited, epoch);
+            }
+            record(from, to, amount, credited, TransferRecord.Status.REJECTED_PAY);
+            return false;
         }
         return true;
     }
+
+    private static boolean isKnown(FxRates rates, int currency) {
+        return currency == 0 || rates != null && rates.hasCurrency(currency);
+    }
+
+    private void record(Account from, Account to, int amount, int credited, TransferRecord.Status status) {
+        if (history != null) {
+            history.record(from, to, amount, credited, status);
+        }
+    }
+
+    public VelocityLimiter getLimiter() {
+        return limiter;
+    }
+
+    public TransferHistory getHistory() {
+        return history;
+    }
+
+    public FxRates getFxRates() {
+        return fxRates;
+    }
+
+    /**
+     * Заменяет таблицу курсов. Переводы, которые уже начались, досчитываются
+     * по старой таблице, новые используют новую.
+     * @param fxRates - новая таблица курсов
+     */
+    public void setFxRates(FxRates fxRates) {
+        this.fxRates = fxRates;
+    }
 }
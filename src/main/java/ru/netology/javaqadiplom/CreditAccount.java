@@ -19,6 +19,18 @@ public class CreditAccount extends Account {
      * @param rate           - неотрицательное число, ставка кредитования для расчёта долга за отрицательный баланс
      */
     public CreditAccount(int initialBalance, int creditLimit, int rate) {
+        this(initialBalance, creditLimit, rate, 0);
+    }
+
+    /**
+     * Создаёт новый объект кредитного счёта в заданной валюте.
+     * @param initialBalance - неотрицательное число, начальный баланс для счёта
+     * @param creditLimit    - неотрицательное число, максимальная сумма которую можно задолжать банку
+     * @param rate           - неотрицательное число, ставка кредитования для расчёта долга за отрицательный баланс
+     * @param currency       - неотрицательное число, номер валюты из таблицы курсов FxRates
+     */
+    public CreditAccount(int initialBalance, int creditLimit, int rate, int currency) {
+        super(currency);
         if (initialBalance < 0) {
             throw new IllegalArgumentException(
                     "Накопительная ставка не может быть отрицательной, а у вас: " + rate
@@ -0,0 +1,104 @@
+package ru.netology.javaqadiplom;
+
+import java.math.BigInteger;
+
+/**
+ * Неизменяемая таблица курсов валют.
+ * Валюта задаётся номером от 0 до количества валют, курсы хранятся
+ * в виде чисел с фиксированной точкой (SCALE единиц = 1).
+ * Валюта 0 - базовая, её курс всегда равен SCALE.
+ * Пересчёт суммы — одно умножение и одно деление в long без создания объектов,
+ * только для сумм и курсов, произведение которых не помещается в long, используется BigInteger.
+ */
+public final class FxRates {
+    public static final long SCALE = 1_000_000;
+
+    private final int currencyCount;
+    private final long[] baseRates;
+
+    /**
+     * Создаёт таблицу курсов по курсам валют к базовой.
+     * Если курсы некорректны (не положительные, курс валюты 0 не равен SCALE и так далее), то
+     * должно выкидываться исключения вида IllegalArgumentException.
+     * @param baseRates - стоимость единицы каждой валюты в базовой валюте, умноженная на SCALE
+     */
+    public FxRates(long... baseRates) {
+        if (baseRates.length == 0) {
+            throw new IllegalArgumentException("Таблица курсов не может быть пустой");
+        }
+        if (baseRates[0] != SCALE) {
+            throw new IllegalArgumentException(
+                    "Курс базовой валюты 0 должен быть равен " + SCALE + ", а у вас: " + baseRates[0]
+            );
+        }
+        for (int i = 0; i < baseRates.length; i++) {
+            if (baseRates[i] <= 0) {
+                throw new IllegalArgumentException(
+                        "Курс валюты " + i + " должен быть положительным, а у вас: " + baseRates[i]
+                );
+            }
+        }
+        this.currencyCount = baseRates.length;
+        this.baseRates = baseRates.clone();
+    }
+
+    /**
+     * Проверяет, есть ли валюта в таблице.
+     * @param currency - номер валюты
+     * @return true если курс валюты известен
+     */
+    public boolean hasCurrency(int currency) {
+        return currency >= 0 && currency < currencyCount;
+    }
+
+    /**
+     * Операция пересчёта суммы из одной валюты в другую.
+     * Результат приводится к целому числу через отбрасывание дробной части.
+     * @param amount - неотрицательная сумма в валюте from
+     * @param from - номер исходной валюты
+     * @param to - номер целевой валюты
+     * @return сумма в валюте to, или -1 если валюта неизвестна или результат не помещается в int
+     */
+    public int convert(int amount, int from, int to) {
+        if (!hasCurrency(from) || !hasCurrency(to) || amount < 0) {
+            return -1;
+        }
+        if (from == to) {
+            return amount;
+        }
+        long result = multiplyDivide(amount, baseRates[from], baseRates[to]);
+        if (result > Integer.MAX_VALUE) {
+            return -1;
+        }
+        return (int) result;
+    }
+
+    /**
+     * Операция пересчёта суммы в базовую валюту 0.
+     * Результат приводится к целому числу через отбрасывание дробной части.
+     * @param amount - неотрицательная сумма в валюте currency
+     * @param currency - номер валюты
+     * @return сумма в базовой валюте, или -1 если валюта неизвестна
+     */
+    public long toBase(int amount, int currency) {
+        if (!hasCurrency(currency) || amount < 0) {
+            return -1;
+        }
+        return multiplyDivide(amount, baseRates[currency], SCALE);
+    }
+
+    // a * b / c для неотрицательных чисел, при результате больше long - Long.MAX_VALUE
+    private static long multiplyDivide(long a, long b, long c) {
+        if (Math.multiplyHigh(a, b) == 0 && a * b >= 0) {
+            return a * b / c;
+        }
+        BigInteger exact = BigInteger.valueOf(a)
+                .multiply(BigInteger.valueOf(b))
+                .divide(BigInteger.valueOf(c));
+        return exact.bitLength() < Long.SIZE ? exact.longValue() : Long.MAX_VALUE;
+    }
+
+    public int getCurrencyCount() {
+        return currencyCount;
+    }
+}
@@ -20,6 +20,19 @@ public class SavingAccount extends Account {
      * @param rate - неотрицательное число, ставка в процентах годовых на остаток
      */
     public SavingAccount(int initialBalance, int minBalance, int maxBalance, int rate) {
+        this(initialBalance, minBalance, maxBalance, rate, 0);
+    }
+
+    /**
+     * Создаёт новый объект сберегательного счёта в заданной валюте.
+     * @param initialBalance - начальный баланс
+     * @param minBalance - минимальный баланс
+     * @param maxBalance - максимальный баланс
+     * @param rate - неотрицательное число, ставка в процентах годовых на остаток
+     * @param currency - неотрицательное число, номер валюты из таблицы курсов FxRates
+     */
+    public SavingAccount(int initialBalance, int minBalance, int maxBalance, int rate, int currency) {
+        super(currency);
         if (rate < 0) {
             throw new IllegalArgumentException(
                     "Накопительная ставка не может быть отрицательной, а у вас: " + rate
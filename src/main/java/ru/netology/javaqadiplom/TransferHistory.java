@@ -0,0 +1,358 @@
+package ru.netology.javaqadiplom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * История переводов, в которую можно только дописывать.
+ * Записи хранятся в примитивных массивах сегментами фиксированного размера.
+ * В памяти держится не больше maxSegments последних сегментов: когда нужен новый,
+ * самый старый вытесняется вместе со ссылками на счета, поэтому память ограничена.
+ * История помнит горизонт вытеснения - самое позднее время вытесненной записи,
+ * и запрос, интервал которого заходит за горизонт, возвращается помеченным как неполный.
+ * Запись не берёт блокировок: место резервируется счётчиком, сегменты
+ * публикуются через CAS. Заполненный сегмент при первом запросе к нему получает
+ * индекс по счетам с записями, отсортированными по времени, и запросы за интервал
+ * времени отвечаются двоичным поиском. Индекс строит поток запроса, а не перевода,
+ * и запросы не блокируют запись.
+ */
+public class TransferHistory {
+    protected static final int SEGMENT_SIZE = 1 << 14;
+    public static final int DEFAULT_MAX_SEGMENTS = 64;
+
+    protected final LongSupplier clock;
+    protected final int maxSegments;
+    protected final AtomicLong next = new AtomicLong();
+    protected final AtomicReferenceArray<Segment> segments;
+    protected final AtomicLong evictedUpTo = new AtomicLong(Long.MIN_VALUE);
+
+    public TransferHistory() {
+        this(System::currentTimeMillis);
+    }
+
+    public TransferHistory(LongSupplier clock) {
+        this(clock, DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * Создаёт историю переводов с заданными часами и объёмом хранения.
+     * Если параметры некорректны, то должно выкидываться исключения вида IllegalArgumentException.
+     * @param clock - источник текущего времени в миллисекундах
+     * @param maxSegments - положительное число, сколько последних сегментов держать в памяти
+     */
+    public TransferHistory(LongSupplier clock, int maxSegments) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Часы не заданы");
+        }
+        if (maxSegments <= 0) {
+            throw new IllegalArgumentException(
+                    "Количество сегментов должно быть положительным, а у вас: " + maxSegments
+            );
+        }
+        this.clock = clock;
+        this.maxSegments = maxSegments;
+        this.segments = new AtomicReferenceArray<>(maxSegments);
+    }
+
+    /**
+     * Операция добавления записи о переводе. Время записи берётся из часов истории.
+     * @param from - счёт с которого переводили
+     * @param to - счёт на который переводили
+     * @param amount - сумма перевода в валюте счёта from
+     * @param credited - сумма зачисления в валюте счёта to
+     * @param status - итог перевода
+     */
+    public void record(Account from, Account to, int amount, int credited, TransferRecord.Status status) {
+        long time = clock.getAsLong();
+        long position = next.getAndIncrement();
+        long number = position / SEGMENT_SIZE;
+        Segment segment = segmentFor(number);
+        if (segment == null) {
+            markEvicted(time); // пока писали, сегмент уже вытеснили
+            return;
+        }
+        segment.write((int) (position % SEGMENT_SIZE), time, from, to, amount, credited, status);
+        if (segments.get(slotOf(number)) != segment) {
+            markEvicted(time);
+        }
+    }
+
+    /**
+     * Все переводы, в которых участвовал счёт (как отправитель или получатель),
+     * за интервал времени от fromTime до toTime включительно, в порядке времени.
+     * Если интервал заходит за горизонт вытеснения, ответ помечается неполным.
+     * @param account - счёт
+     * @param fromTime - начало интервала
+     * @param toTime - конец интервала
+     * @return найденные записи и признак полноты
+     */
+    public TransferQueryResult findByAccount(Account account, long fromTime, long toTime) {
+        List<TransferRecord> result = new ArrayList<>();
+        if (fromTime <= toTime) {
+            for (Segment segment : snapshot()) {
+                segment.collect(account, fromTime, toTime, result);
+            }
+            result.sort(Comparator.comparingLong(TransferRecord::getTime));
+        }
+        // горизонт читается после обхода: сегмент, которого не было в снимке,
+        // был вытеснен раньше и уже учтён в горизонте
+        return new TransferQueryResult(result, evictedUpTo.get(), fromTime);
+    }
+
+    /**
+     * Все попытки списания со счёта, в которых счёт отказал в операции pay.
+     * Если из истории уже что-то вытеснено, ответ помечается неполным.
+     * @param account - счёт
+     * @return найденные записи и признак полноты
+     */
+    public TransferQueryResult findRejectedPays(Account account) {
+        TransferQueryResult all = findByAccount(account, Long.MIN_VALUE, Long.MAX_VALUE);
+        List<TransferRecord> result = new ArrayList<>();
+        for (TransferRecord record : all.getRecords()) {
+            if (record.getFrom() == account && record.getStatus() == TransferRecord.Status.REJECTED_PAY) {
+                result.add(record);
+            }
+        }
+        return new TransferQueryResult(result, all.getEvictedUpTo(), Long.MIN_VALUE);
+    }
+
+    /**
+     * Сколько записей было добавлено за всё время, включая вытесненные.
+     */
+    public long size() {
+        return next.get();
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    /**
+     * Горизонт вытеснения: записи с временем до него включительно могли быть вытеснены.
+     * @return время горизонта, Long.MIN_VALUE если ничего не вытеснялось
+     */
+    public long getEvictedUpTo() {
+        return evictedUpTo.get();
+    }
+
+    /**
+     * Номер самой старой записи, которая ещё хранится в памяти.
+     */
+    public long getOldestRetainedPosition() {
+        List<Segment> retained = snapshot();
+        return retained.isEmpty() ? 0 : retained.get(0).number * SEGMENT_SIZE;
+    }
+
+    private int slotOf(long number) {
+        return (int) (number % maxSegments);
+    }
+
+    private void markEvicted(long time) {
+        if (time > evictedUpTo.get()) {
+            evictedUpTo.accumulateAndGet(time, Math::max);
+        }
+    }
+
+    private Segment segmentFor(long number) {
+        int slot = slotOf(number);
+        while (true) {
+            Segment current = segments.get(slot);
+            if (current != null && current.number == number) {
+                return current;
+            }
+            if (current != null && current.number > number) {
+                return null; // сегмент уже вытеснен более новыми записями
+            }
+            if (current != null) {
+                // горизонт сдвигается до замены, чтобы запрос не увидел пропажу раньше горизонта
+                markEvicted(current.maxTime.get());
+            }
+            Segment created = new Segment(number);
+            if (segments.compareAndSet(slot, current, created)) {
+                return created;
+            }
+        }
+    }
+
+    private List<Segment> snapshot() {
+        List<Segment> result = new ArrayList<>(maxSegments);
+        for (int i = 0; i < maxSegments; i++) {
+            Segment segment = segments.get(i);
+            if (segment != null) {
+                result.add(segment);
+            }
+        }
+        result.sort(Comparator.comparingLong(segment -> segment.number));
+        return result;
+    }
+
+    /**
+     * Сегмент истории: SEGMENT_SIZE записей подряд, разложенных по столбцам.
+     * Запись считается опубликованной, когда для неё записан статус.
+     * Индекс по счетам строится лениво первым запросом к заполненному сегменту.
+     */
+    protected static class Segment {
+        final long number;
+        final long[] times = new long[SEGMENT_SIZE];
+        final Account[] froms = new Account[SEGMENT_SIZE];
+        final Account[] tos = new Account[SEGMENT_SIZE];
+        final int[] amounts = new int[SEGMENT_SIZE];
+        final int[] credited = new int[SEGMENT_SIZE];
+        // 0 - запись ещё не опубликована, иначе ordinal статуса + 1
+        final AtomicIntegerArray statuses = new AtomicIntegerArray(SEGMENT_SIZE);
+        final AtomicInteger written = new AtomicInteger();
+        final AtomicLong maxTime = new AtomicLong(Long.MIN_VALUE);
+        volatile Index index;
+
+        Segment(long number) {
+            this.number = number;
+        }
+
+        void write(int offset, long time, Account from, Account to, int amount, int credit,
+                   TransferRecord.Status status) {
+            times[offset] = time;
+            froms[offset] = from;
+            tos[offset] = to;
+            amounts[offset] = amount;
+            credited[offset] = credit;
+            if (time > maxTime.get()) {
+                maxTime.accumulateAndGet(time, Math::max);
+            }
+            statuses.set(offset, status.ordinal() + 1);
+            written.incrementAndGet();
+        }
+
+        private Index sealedIndex() {
+            Index sealed = index;
+            if (sealed == null && written.get() == SEGMENT_SIZE) {
+                synchronized (this) {
+                    sealed = index;
+                    if (sealed == null) {
+                        sealed = new Index(this);
+                        index = sealed;
+                    }
+                }
+            }
+            return sealed;
+        }
+
+        void collect(Account account, long fromTime, long toTime, List<TransferRecord> result) {
+            Index sealed = sealedIndex();
+            if (sealed == null) {
+                for (int offset = 0; offset < SEGMENT_SIZE; offset++) {
+                    if (statuses.get(offset) != 0 && (froms[offset] == account || tos[offset] == account)
+                            && times[offset] >= fromTime && times[offset] <= toTime) {
+                        result.add(recordAt(offset));
+                    }
+                }
+                return;
+            }
+            if (sealed.maxTime < fromTime || sealed.minTime > toTime) {
+                return;
+            }
+            int[] offsets = sealed.offsets.get(account);
+            if (offsets == null) {
+                return;
+            }
+            for (int i = lowerBound(offsets, fromTime); i < offsets.length; i++) {
+                if (times[offsets[i]] > toTime) {
+                    break;
+                }
+                result.add(recordAt(offsets[i]));
+            }
+        }
+
+        private int lowerBound(int[] offsets, long time) {
+            int low = 0;
+            int high = offsets.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[offsets[mid]] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private TransferRecord recordAt(int offset) {
+            return new TransferRecord(
+                    froms[offset],
+                    tos[offset],
+                    amounts[offset],
+                    credited[offset],
+                    times[offset],
+                    TransferRecord.Status.values()[statuses.get(offset) - 1]
+            );
+        }
+    }
+
+    /**
+     * Индекс заполненного сегмента: для каждого счёта номера его записей
+     * в порядке времени и границы времени всего сегмента.
+     */
+    protected static class Index {
+        final Map<Account, int[]> offsets = new HashMap<>();
+        final long minTime;
+        final long maxTime;
+
+        Index(Segment segment) {
+            Map<Account, Postings> postings = new HashMap<>();
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int offset = 0; offset < SEGMENT_SIZE; offset++) {
+                postings.computeIfAbsent(segment.froms[offset], a -> new Postings()).add(offset);
+                if (segment.tos[offset] != segment.froms[offset]) {
+                    postings.computeIfAbsent(segment.tos[offset], a -> new Postings()).add(offset);
+                }
+                min = Math.min(min, segment.times[offset]);
+                max = Math.max(max, segment.times[offset]);
+            }
+            for (Map.Entry<Account, Postings> entry : postings.entrySet()) {
+                offsets.put(entry.getKey(), entry.getValue().sortedByTime(segment.times));
+            }
+            this.minTime = min;
+            this.maxTime = max;
+        }
+    }
+
+    /**
+     * Растущий список номеров записей одного счёта в сегменте.
+     */
+    protected static class Postings {
+        int[] ids = new int[8];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        // записи почти упорядочены по времени, поэтому сортировка вставками
+        int[] sortedByTime(long[] times) {
+            int[] result = Arrays.copyOf(ids, size);
+            for (int i = 1; i < result.length; i++) {
+                int id = result[i];
+                int j = i - 1;
+                while (j >= 0 && times[result[j]] > times[id]) {
+                    result[j + 1] = result[j];
+                    j--;
+                }
+                result[j + 1] = id;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.netology.javaqadiplom;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ответ на запрос к истории переводов: найденные записи и признак полноты.
+ * История держит в памяти ограниченное число записей, поэтому если запрошенный
+ * интервал заходит за горизонт вытеснения, ответ помечается неполным.
+ */
+public class TransferQueryResult {
+    protected final List<TransferRecord> records;
+    protected final long evictedUpTo;
+    protected final boolean complete;
+
+    /**
+     * @param records - найденные записи в порядке времени
+     * @param evictedUpTo - время, до которого включительно записи могли быть вытеснены,
+     *                    Long.MIN_VALUE если ничего не вытеснялось
+     * @param fromTime - начало запрошенного интервала
+     */
+    public TransferQueryResult(List<TransferRecord> records, long evictedUpTo, long fromTime) {
+        this.records = Collections.unmodifiableList(records);
+        this.evictedUpTo = evictedUpTo;
+        this.complete = evictedUpTo == Long.MIN_VALUE || fromTime > evictedUpTo;
+    }
+
+    public List<TransferRecord> getRecords() {
+        return records;
+    }
+
+    /**
+     * true если в запрошенный интервал не попало ни одной вытесненной записи.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getEvictedUpTo() {
+        return evictedUpTo;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.netology.javaqadiplom;
+
+/**
+ * Запись истории переводов: кто, кому, сколько, когда и чем закончилась операция.
+ * Сумма amount указана в валюте счёта from, сумма credited - в валюте счёта to
+ * по курсу, действовавшему в момент перевода.
+ */
+public class TransferRecord {
+
+    /**
+     * Итог перевода.
+     */
+    public enum Status {
+        /** Перевод выполнен */
+        COMPLETED,
+        /** Перевод отклонён ограничителем частоты списаний */
+        REJECTED_BY_LIMIT,
+        /** Счёт отказал в операции pay */
+        REJECTED_PAY,
+        /** Счёт получателя отказал в операции add, списание возвращено */
+        REJECTED_ADD
+    }
+
+    protected final Account from;
+    protected final Account to;
+    protected final int amount;
+    protected final int credited;
+    protected final long time;
+    protected final Status status;
+
+    public TransferRecord(Account from, Account to, int amount, int credited, long time, Status status) {
+        this.from = from;
+        this.to = to;
+        this.amount = amount;
+        this.credited = credited;
+        this.time = time;
+        this.status = status;
+    }
+
+    public Account getFrom() {
+        return from;
+    }
+
+    public Account getTo() {
+        return to;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public int getCredited() {
+        return credited;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,264 @@
+package ru.netology.javaqadiplom;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничитель частоты списаний по счёту (velocity check).
+ * Для каждого счёта ведётся скользящее окно заданной длины, разбитое на корзины.
+ * В окне не может быть больше указанного количества списаний и больше указанной суммы.
+ * Корзины хранятся в примитивных массивах по кругу и обнуляются лениво,
+ * при первом обращении после того, как их время вышло.
+ * Окна счетов, по которым не было списаний дольше длины окна, удаляются,
+ * чтобы не держать в памяти все когда-либо обслуженные счета. Очистка идёт
+ * понемногу: каждое списание проверяет не больше SWEEP_BATCH окон.
+ */
+public class VelocityLimiter {
+    /** Значение acquire, означающее, что списание не разрешено */
+    public static final long REJECTED = Long.MIN_VALUE;
+
+    private static final int ADDED = 0;
+    private static final int OVER_LIMIT = 1;
+    private static final int RETIRED = 2;
+    protected static final int SWEEP_BATCH = 4;
+
+    protected final long windowMillis;
+    protected final int bucketCount;
+    protected final long bucketMillis;
+    protected final int maxCount;
+    protected final long maxAmount;
+    protected final LongSupplier clock;
+    protected final Map<Account, Window> windows = new ConcurrentHashMap<>();
+    protected final ReentrantLock sweepLock = new ReentrantLock();
+    // доступны только под sweepLock
+    private Iterator<Map.Entry<Account, Window>> sweepCursor;
+    private long sweepPassEpoch = Long.MIN_VALUE;
+
+    /**
+     * Создаёт ограничитель с системными часами.
+     * @param windowMillis - длина окна в миллисекундах
+     * @param bucketCount - количество корзин в окне
+     * @param maxCount - максимальное количество списаний за окно
+     * @param maxAmount - максимальная сумма списаний за окно
+     */
+    public VelocityLimiter(long windowMillis, int bucketCount, int maxCount, long maxAmount) {
+        this(windowMillis, bucketCount, maxCount, maxAmount, System::currentTimeMillis);
+    }
+
+    /**
+     * Создаёт ограничитель с заданными параметрами.
+     * Если параметры некорректны (окно короче количества корзин и так далее), то
+     * должно выкидываться исключения вида IllegalArgumentException.
+     * @param windowMillis - длина окна в миллисекундах, должна делиться на количество корзин
+     * @param bucketCount - положительное число, количество корзин в окне
+     * @param maxCount - положительное число, максимальное количество списаний за окно
+     * @param maxAmount - положительное число, максимальная сумма списаний за окно
+     * @param clock - источник текущего времени в миллисекундах
+     */
+    public VelocityLimiter(long windowMillis, int bucketCount, int maxCount, long maxAmount, LongSupplier clock) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException(
+                    "Количество корзин должно быть положительным, а у вас: " + bucketCount
+            );
+        }
+        if (windowMillis <= 0 || windowMillis % bucketCount != 0) {
+            throw new IllegalArgumentException(
+                    "Длина окна должна быть положительной и делиться на количество корзин, а у вас: " + windowMillis
+            );
+        }
+        if (maxCount <= 0) {
+            throw new IllegalArgumentException(
+                    "Лимит количества списаний должен быть положительным, а у вас: " + maxCount
+            );
+        }
+        if (maxAmount <= 0) {
+            throw new IllegalArgumentException(
+                    "Лимит суммы списаний должен быть положительным, а у вас: " + maxAmount
+            );
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Часы не заданы");
+        }
+        this.windowMillis = windowMillis;
+        this.bucketCount = bucketCount;
+        this.bucketMillis = windowMillis / bucketCount;
+        this.maxCount = maxCount;
+        this.maxAmount = maxAmount;
+        this.clock = clock;
+    }
+
+    /**
+     * Операция резервирования списания по счёту.
+     * Если списание укладывается в лимиты окна, оно учитывается в текущей корзине
+     * и метод возвращает номер этой корзины, который нужно передать в release,
+     * если списание в итоге не пройдёт.
+     * Иначе ничего не учитывается и метод возвращает REJECTED.
+     * @param account - счёт, с которого списываем
+     * @param amount - неотрицательная сумма списания
+     * @return номер корзины, в которой учтено списание, или REJECTED.
+     */
+    public long acquire(Account account, long amount) {
+        if (amount < 0) {
+            return REJECTED;
+        }
+        long epoch = Math.floorDiv(clock.getAsLong(), bucketMillis);
+        sweep(epoch);
+        while (true) {
+            Window window = windows.computeIfAbsent(account, a -> new Window(bucketCount));
+            int result = window.tryAdd(epoch, amount, maxCount, maxAmount);
+            if (result == ADDED) {
+                return epoch;
+            }
+            if (result == OVER_LIMIT) {
+                return REJECTED;
+            }
+            windows.remove(account, window);
+        }
+    }
+
+    /**
+     * Операция резервирования списания по счёту, когда отменять его не придётся.
+     * @param account - счёт, с которого списываем
+     * @param amount - сумма списания
+     * @return true если списание разрешено, false иначе.
+     */
+    public boolean tryAcquire(Account account, long amount) {
+        return acquire(account, amount) != REJECTED;
+    }
+
+    /**
+     * Операция отмены ранее разрешённого списания, если оно в итоге не прошло.
+     * Списание снимается ровно с той корзины, в которой было учтено.
+     * Если эта корзина уже ушла из окна, ничего не меняется.
+     * @param account - счёт, с которого списывали
+     * @param amount - сумма списания
+     * @param epoch - номер корзины, который вернул acquire
+     */
+    public void release(Account account, long amount, long epoch) {
+        Window window = windows.get(account);
+        if (window == null || amount < 0 || epoch == REJECTED) {
+            return;
+        }
+        window.remove(epoch, amount);
+    }
+
+    /**
+     * Количество счетов, окна которых сейчас хранятся в памяти.
+     */
+    public int getTrackedAccounts() {
+        return windows.size();
+    }
+
+    /**
+     * Проверяет следующие SWEEP_BATCH окон и удаляет те, все корзины которых
+     * уже вышли из окна. Новый проход по карте начинается не чаще раза за корзину.
+     * Если очисткой уже занят другой поток, списание её пропускает и не ждёт.
+     */
+    private void sweep(long epoch) {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < SWEEP_BATCH; i++) {
+                if (sweepCursor == null || !sweepCursor.hasNext()) {
+                    if (epoch == sweepPassEpoch) {
+                        return;
+                    }
+                    sweepPassEpoch = epoch;
+                    sweepCursor = windows.entrySet().iterator();
+                    if (!sweepCursor.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<Account, Window> entry = sweepCursor.next();
+                Window window = entry.getValue();
+                if (window.retireIfStale(epoch)) {
+                    windows.remove(entry.getKey(), window);
+                }
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    public long getMaxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * Кольцо корзин одного счёта. В каждой корзине хранится номер её интервала,
+     * количество и сумма списаний за этот интервал.
+     * Удалённое из карты окно помечается списанным, и списания в него
+     * больше не принимаются, чтобы они не потерялись.
+     */
+    protected static class Window {
+        private final long[] epochs;
+        private final int[] counts;
+        private final long[] amounts;
+        private long latest = Long.MIN_VALUE;
+        private boolean retired;
+
+        Window(int bucketCount) {
+            epochs = new long[bucketCount];
+            counts = new int[bucketCount];
+            amounts = new long[bucketCount];
+            Arrays.fill(epochs, Long.MIN_VALUE);
+        }
+
+        synchronized int tryAdd(long epoch, long amount, int maxCount, long maxAmount) {
+            if (retired) {
+                return RETIRED;
+            }
+            int size = epochs.length;
+            long oldest = epoch - size;
+            int count = 0;
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                if (epochs[i] > oldest && epochs[i] <= epoch) {
+                    count += counts[i];
+                    sum += amounts[i];
+                }
+            }
+            if (count + 1 > maxCount || amount > maxAmount - sum) {
+                return OVER_LIMIT;
+            }
+            int index = (int) Math.floorMod(epoch, (long) size);
+            if (epochs[index] != epoch) {
+                epochs[index] = epoch;
+                counts[index] = 0;
+                amounts[index] = 0;
+            }
+            counts[index]++;
+            amounts[index] += amount;
+            latest = Math.max(latest, epoch);
+            return ADDED;
+        }
+
+        synchronized boolean retireIfStale(long epoch) {
+            if (latest <= epoch - epochs.length) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        synchronized void remove(long epoch, long amount) {
+            int index = (int) Math.floorMod(epoch, (long) epochs.length);
+            if (epochs[index] == epoch && counts[index] > 0) {
+                counts[index]--;
+                amounts[index] -= amount;
+            }
+        }
+    }
+}
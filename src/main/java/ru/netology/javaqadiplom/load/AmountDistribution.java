@@ -0,0 +1,21 @@
+package ru.netology.javaqadiplom.load;
+
+/**
+ * Распределение сумм переводов в нагрузке.
+ */
+public enum AmountDistribution {
+    /**
+     * Равномерное распределение между минимальной и максимальной суммой.
+     */
+    UNIFORM,
+    /**
+     * Логнормальное распределение с медианой посередине между минимальной
+     * и максимальной суммой в логарифмической шкале.
+     */
+    LOG_NORMAL,
+    /**
+     * Распределение Парето с минимальной суммой в качестве масштаба
+     * (показатель 1.16 - правило "20 процентов переводов дают 80 процентов оборота").
+     */
+    PARETO
+}
@@ -0,0 +1,76 @@
+package ru.netology.javaqadiplom.load;
+
+import java.util.Arrays;
+
+/**
+ * Итоги прогона нагрузки: пропускная способность и распределение задержек.
+ * Задержка каждого перевода считается от запланированного момента его запуска,
+ * а не от фактического, поэтому очередь, накопившаяся из-за медленных
+ * переводов, честно попадает в задержку следующих.
+ */
+public class LoadReport {
+    protected final int operations;
+    protected final int accepted;
+    protected final long elapsedNanos;
+    protected final long[] sortedLatencies;
+
+    public LoadReport(int accepted, long elapsedNanos, long[] latencies) {
+        this.operations = latencies.length;
+        this.accepted = accepted;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(this.sortedLatencies);
+    }
+
+    /**
+     * Задержка указанного перцентиля в наносекундах.
+     * @param percentile - число от 0 до 100
+     * @return задержка, 0 если переводов не было
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException(
+                    "Перцентиль должен быть от 0 до 100, а у вас: " + percentile
+            );
+        }
+        if (operations == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * operations) - 1;
+        return sortedLatencies[Math.max(0, index)];
+    }
+
+    /**
+     * Количество переводов в секунду за весь прогон.
+     */
+    public double getThroughput() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return operations * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "operations=%d accepted=%d elapsed=%.3fs throughput=%.1f op/s%n"
+                        + "latency us: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f",
+                operations, accepted, elapsedNanos / 1e9, getThroughput(),
+                getLatencyPercentile(50) / 1e3, getLatencyPercentile(90) / 1e3,
+                getLatencyPercentile(99) / 1e3, getLatencyPercentile(99.9) / 1e3,
+                getLatencyPercentile(100) / 1e3
+        );
+    }
+}
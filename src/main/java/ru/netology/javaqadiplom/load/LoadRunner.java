@@ -0,0 +1,149 @@
+package ru.netology.javaqadiplom.load;
+
+import ru.netology.javaqadiplom.Account;
+import ru.netology.javaqadiplom.Bank;
+import ru.netology.javaqadiplom.TransferHistory;
+import ru.netology.javaqadiplom.VelocityLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Прогон нагрузки против банка по открытой модели: переводы запускаются
+ * по расписанию с заданной частотой, независимо от того, успел ли
+ * закончиться предыдущий.
+ */
+public class LoadRunner {
+
+    /**
+     * Прогоняет нагрузку на новом наборе счетов в одном потоке.
+     * @param bank - банк, через который выполняются переводы
+     * @param workload - нагрузка
+     * @param ratePerSecond - положительное число, целевая частота переводов в секунду
+     * @return отчёт о прогоне
+     */
+    public LoadReport run(Bank bank, Workload workload, int ratePerSecond) {
+        return run(bank, workload, ratePerSecond, 1);
+    }
+
+    /**
+     * Прогоняет нагрузку на новом наборе счетов в нескольких потоках.
+     * Переводы раздаются потокам по очереди, каждый поток идёт по своему расписанию,
+     * так что суммарная частота остаётся равной ratePerSecond.
+     * Счета не синхронизированы, поэтому при нескольких потоках их балансы
+     * после прогона не проверяются, а измеряется работа общих структур банка.
+     * @param bank - банк, через который выполняются переводы
+     * @param workload - нагрузка
+     * @param ratePerSecond - положительное число, целевая частота переводов в секунду
+     * @param threads - положительное число, количество рабочих потоков
+     * @return отчёт о прогоне
+     */
+    public LoadReport run(Bank bank, Workload workload, int ratePerSecond, int threads) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "Частота должна быть положительной, а у вас: " + ratePerSecond
+            );
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException(
+                    "Количество потоков должно быть положительным, а у вас: " + threads
+            );
+        }
+        Account[] accounts = workload.createAccounts();
+        long[] latencies = new long[workload.size()];
+        double intervalNanos = 1_000_000_000.0 / ratePerSecond;
+
+        long start = System.nanoTime();
+        if (threads == 1) {
+            int accepted = runWorker(bank, workload, accounts, latencies, start, intervalNanos, 0, 1);
+            return new LoadReport(accepted, System.nanoTime() - start, latencies);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                Callable<Integer> task = () -> runWorker(bank, workload, accounts, latencies,
+                        start, intervalNanos, worker, threads);
+                results.add(pool.submit(task));
+            }
+            int accepted = 0;
+            for (Future<Integer> result : results) {
+                accepted += result.get();
+            }
+            return new LoadReport(accepted, System.nanoTime() - start, latencies);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Прогон нагрузки прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Рабочий поток прогона упал", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // выполняет переводы worker, worker + threads, ... и возвращает количество принятых
+    private static int runWorker(Bank bank, Workload workload, Account[] accounts, long[] latencies,
+                                 long start, double intervalNanos, int worker, int threads) {
+        int accepted = 0;
+        for (int i = worker; i < latencies.length; i += threads) {
+            long intended = start + (long) (i * intervalNanos);
+            long now = System.nanoTime();
+            while (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+            boolean ok = bank.transfer(accounts[workload.getFrom(i)], accounts[workload.getTo(i)], workload.getAmount(i));
+            latencies[i] = System.nanoTime() - intended;
+            if (ok) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Запуск из командной строки:
+     * {@code LoadRunner <plain|limited|audited> <seed> <operations> <rate> [threads] [uniform|log_normal|pareto]}.
+     * По умолчанию один поток и равномерные суммы.
+     * Остальные параметры нагрузки фиксированы, чтобы прогоны были сравнимы.
+     */
+    public static void main(String[] args) {
+        if (args.length < 4 || args.length > 6) {
+            System.err.println("usage: LoadRunner <plain|limited|audited> <seed> <operations> <rate>"
+                    + " [threads] [uniform|log_normal|pareto]");
+            System.exit(2);
+        }
+        Bank bank = createBank(args[0]);
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+        AmountDistribution distribution = args.length > 5
+                ? AmountDistribution.valueOf(args[5].toUpperCase())
+                : AmountDistribution.UNIFORM;
+        Workload workload = new Workload(
+                Long.parseLong(args[1]), Integer.parseInt(args[2]),
+                10_000, 50, 100, 20, 1, 10_000, 5, distribution
+        );
+        System.out.println("mode=" + args[0] + " seed=" + workload.getSeed()
+                + " threads=" + threads + " amounts=" + distribution);
+        System.out.println(new LoadRunner().run(bank, workload, Integer.parseInt(args[3]), threads));
+    }
+
+    private static Bank createBank(String mode) {
+        switch (mode) {
+            case "plain":
+                return new Bank();
+            case "limited":
+                return new Bank(new VelocityLimiter(60_000, 60, 1_000, Long.MAX_VALUE));
+            case "audited":
+                return new Bank(new VelocityLimiter(60_000, 60, 1_000, Long.MAX_VALUE), new TransferHistory());
+            default:
+                throw new IllegalArgumentException("Неизвестный режим банка: " + mode);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ru.netology.javaqadiplom.load;
+
+import ru.netology.javaqadiplom.Account;
+import ru.netology.javaqadiplom.CreditAccount;
+import ru.netology.javaqadiplom.SavingAccount;
+
+import java.util.SplittableRandom;
+
+/**
+ * Воспроизводимая нагрузка для банка: набор счетов и последовательность переводов.
+ * Всё определяется зерном генератора, поэтому одна и та же нагрузка
+ * может прогоняться на разных режимах банка и с разными флагами JVM.
+ */
+public class Workload {
+    protected static final int INITIAL_BALANCE = 1_000_000;
+    protected static final int CREDIT_LIMIT = 1_000_000;
+    protected static final int REJECTED_AMOUNT = Integer.MAX_VALUE / 2;
+    protected static final double PARETO_SHAPE = 1.16;
+
+    protected final long seed;
+    protected final int accountCount;
+    protected final int savingShare;
+    protected final AmountDistribution distribution;
+    protected final int[] froms;
+    protected final int[] tos;
+    protected final int[] amounts;
+
+    /**
+     * Создаёт нагрузку с равномерным распределением сумм переводов.
+     */
+    public Workload(long seed, int operations, int accountCount, int savingShare,
+                    int hotAccounts, int hotShare, int minAmount, int maxAmount, int rejectShare) {
+        this(seed, operations, accountCount, savingShare, hotAccounts, hotShare,
+                minAmount, maxAmount, rejectShare, AmountDistribution.UNIFORM);
+    }
+
+    /**
+     * Создаёт нагрузку с заданными параметрами.
+     * Если параметры некорректны (доля больше 100 процентов и так далее), то
+     * должно выкидываться исключения вида IllegalArgumentException.
+     * @param seed - зерно генератора
+     * @param operations - положительное число, количество переводов
+     * @param accountCount - число не меньше двух, количество счетов
+     * @param savingShare - процент сберегательных счетов, остальные кредитные
+     * @param hotAccounts - количество "горячих" счетов в начале списка
+     * @param hotShare - процент переводов, которые списываются с горячих счетов
+     * @param minAmount - положительное число, минимальная сумма перевода
+     * @param maxAmount - максимальная сумма перевода, не меньше минимальной
+     * @param rejectShare - процент переводов на заведомо неподъёмную сумму
+     * @param distribution - распределение сумм переводов между minAmount и maxAmount
+     */
+    public Workload(long seed, int operations, int accountCount, int savingShare,
+                    int hotAccounts, int hotShare, int minAmount, int maxAmount, int rejectShare,
+                    AmountDistribution distribution) {
+        if (operations <= 0) {
+            throw new IllegalArgumentException(
+                    "Количество переводов должно быть положительным, а у вас: " + operations
+            );
+        }
+        if (accountCount < 2) {
+            throw new IllegalArgumentException(
+                    "Счетов должно быть не меньше двух, а у вас: " + accountCount
+            );
+        }
+        if (hotAccounts < 1 || hotAccounts > accountCount) {
+            throw new IllegalArgumentException(
+                    "Количество горячих счетов должно быть от 1 до " + accountCount + ", а у вас: " + hotAccounts
+            );
+        }
+        checkShare(savingShare);
+        checkShare(hotShare);
+        checkShare(rejectShare);
+        if (minAmount <= 0 || minAmount > maxAmount) {
+            throw new IllegalArgumentException(
+                    "Суммы перевода должны быть положительными и минимальная не больше максимальной"
+            );
+        }
+        if (distribution == null) {
+            throw new IllegalArgumentException("Распределение сумм перевода должно быть задано");
+        }
+        this.seed = seed;
+        this.accountCount = accountCount;
+        this.savingShare = savingShare;
+        this.distribution = distribution;
+        this.froms = new int[operations];
+        this.tos = new int[operations];
+        this.amounts = new int[operations];
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < operations; i++) {
+            int from = random.nextInt(100) < hotShare
+                    ? random.nextInt(hotAccounts)
+                    : random.nextInt(accountCount);
+            int to = random.nextInt(accountCount - 1);
+            if (to >= from) {
+                to++;
+            }
+            froms[i] = from;
+            tos[i] = to;
+            amounts[i] = random.nextInt(100) < rejectShare
+                    ? REJECTED_AMOUNT
+                    : nextAmount(random, minAmount, maxAmount);
+        }
+    }
+
+    private int nextAmount(SplittableRandom random, int minAmount, int maxAmount) {
+        double amount;
+        switch (distribution) {
+            case LOG_NORMAL:
+                // медиана - среднее геометрическое границ, границы в четырёх сигмах от неё
+                double mu = (Math.log(minAmount) + Math.log(maxAmount)) / 2;
+                double sigma = (Math.log(maxAmount) - Math.log(minAmount)) / 4;
+                amount = Math.exp(mu + sigma * nextGaussian(random));
+                break;
+            case PARETO:
+                amount = minAmount / Math.pow(1 - random.nextDouble(), 1 / PARETO_SHAPE);
+                break;
+            default:
+                return minAmount + random.nextInt(maxAmount - minAmount + 1);
+        }
+        return (int) Math.max(minAmount, Math.min(maxAmount, amount));
+    }
+
+    // преобразование Бокса-Мюллера, в SplittableRandom нет nextGaussian
+    private static double nextGaussian(SplittableRandom random) {
+        double radius = Math.sqrt(-2 * Math.log(1 - random.nextDouble()));
+        return radius * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static void checkShare(int share) {
+        if (share < 0 || share > 100) {
+            throw new IllegalArgumentException(
+                    "Доля должна быть от 0 до 100 процентов, а у вас: " + share
+            );
+        }
+    }
+
+    /**
+     * Создаёт новый набор счетов для прогона. Счета меняются во время прогона,
+     * поэтому для каждого прогона их нужно создавать заново.
+     * @return массив счетов, индексы которого используются в переводах
+     */
+    public Account[] createAccounts() {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        Account[] accounts = new Account[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            if (random.nextInt(100) < savingShare) {
+                accounts[i] = new SavingAccount(INITIAL_BALANCE, 0, Integer.MAX_VALUE / 2, 5);
+            } else {
+                accounts[i] = new CreditAccount(INITIAL_BALANCE, CREDIT_LIMIT, 15);
+            }
+        }
+        return accounts;
+    }
+
+    public int size() {
+        return amounts.length;
+    }
+
+    public int getFrom(int operation) {
+        return froms[operation];
+    }
+
+    public int getTo(int operation) {
+        return tos[operation];
+    }
+
+    public int getAmount(int operation) {
+        return amounts[operation];
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public AmountDistribution getDistribution() {
+        return distribution;
+    }
+}
@@ -0,0 +1,188 @@
+package ru.netology.javaqadiplom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+public class FxRatesTest {
+    // 0 - рубль (база), 1 - доллар по 90.5, 2 - юань по 12.4
+    private final FxRates rates = new FxRates(1_000_000, 90_500_000, 12_400_000);
+
+    // Тесты конструктора
+
+    // Негативный сценарий: курс должен быть положительным
+    @Test
+    public void shouldThrowIfRateNotPositive() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new FxRates(1_000_000, 0)
+        );
+    }
+
+    // Негативный сценарий: курс базовой валюты 0 должен быть равен SCALE
+    @Test
+    public void shouldThrowIfBaseRateNotScale() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new FxRates(2_000_000, 90_500_000)
+        );
+    }
+
+    // Тесты метода convert()
+
+    // Позитивный сценарий: пересчёт с отбрасыванием дробной части
+    @ParameterizedTest
+    @CsvSource({
+            "100,   1, 0, 9050",   // доллары в рубли
+            "9050,  0, 1, 100",    // рубли в доллары
+            "100,   0, 1, 1",      // дробная часть отбрасывается
+            "500,   2, 2, 500"     // та же валюта
+    })
+    public void shouldConvert(int amount, int from, int to, int want) {
+        Assertions.assertEquals(want, rates.convert(amount, from, to));
+    }
+
+    // Негативный сценарий: неизвестная валюта и переполнение
+    @ParameterizedTest
+    @CsvSource({
+            "100,        3, 0",   // неизвестная валюта
+            "100,        0, -1",  // отрицательный номер валюты
+            "2000000000, 1, 0"    // результат не помещается в int
+    })
+    public void shouldNotConvert(int amount, int from, int to) {
+        Assertions.assertEquals(-1, rates.convert(amount, from, to));
+    }
+
+    // Позитивный сценарий: большие курсы, произведение которых на сумму не помещается в long
+    @Test
+    public void shouldConvertWithHugeRates() {
+        FxRates huge = new FxRates(FxRates.SCALE, 3_000_000_000_000_000_000L, 6_000_000_000_000_000_000L);
+        Assertions.assertEquals(5, huge.convert(10, 1, 2));
+    }
+
+    // Тесты перевода через Bank
+
+    // Позитивный сценарий: на счёт в другой валюте зачисляется пересчитанная сумма
+    @Test
+    public void shouldTransferBetweenCurrencies() {
+        Bank bank = new Bank();
+        bank.setFxRates(rates);
+        CreditAccount from = new CreditAccount(1_000, 5_000, 15, 1);
+        SavingAccount to = new SavingAccount(0, 0, 1_000_000, 5);
+
+        Assertions.assertTrue(bank.transfer(from, to, 100));
+        Assertions.assertEquals(900, from.getBalance());
+        Assertions.assertEquals(9_050, to.getBalance());
+    }
+
+    // Негативный сценарий: без таблицы курсов перевод между валютами не выполняется
+    @Test
+    public void shouldRejectCrossCurrencyWithoutRates() {
+        Bank bank = new Bank();
+        CreditAccount from = new CreditAccount(1_000, 5_000, 15, 1);
+        SavingAccount to = new SavingAccount(0, 0, 1_000_000, 5);
+
+        Assertions.assertFalse(bank.transfer(from, to, 100));
+        Assertions.assertEquals(1_000, from.getBalance());
+        Assertions.assertEquals(0, to.getBalance());
+    }
+
+    // Негативный сценарий: перевод между счетами в одной небазовой валюте без таблицы курсов
+    // не выполняется ни с ограничителем, ни без него
+    @Test
+    public void shouldRejectUnknownCurrencyWithAndWithoutLimiter() {
+        Bank[] banks = {
+                new Bank(),
+                new Bank(new VelocityLimiter(60_000, 6, 100, 1_000_000, () -> 0))
+        };
+        for (Bank bank : banks) {
+            CreditAccount from = new CreditAccount(1_000, 5_000, 15, 1);
+            CreditAccount to = new CreditAccount(0, 5_000, 15, 1);
+
+            Assertions.assertFalse(bank.transfer(from, to, 100));
+            Assertions.assertEquals(1_000, from.getBalance());
+
+            bank.setFxRates(rates);
+            Assertions.assertTrue(bank.transfer(from, to, 100));
+            Assertions.assertFalse(bank.transfer(from, new CreditAccount(0, 5_000, 15, 3), 100));
+            Assertions.assertEquals(900, from.getBalance());
+        }
+    }
+
+    // Позитивный сценарий: счета в базовой валюте переводят без таблицы курсов
+    @Test
+    public void shouldTransferInBaseCurrencyWithoutRates() {
+        Bank bank = new Bank(new VelocityLimiter(60_000, 6, 100, 1_000, () -> 0));
+        CreditAccount from = new CreditAccount(5_000, 5_000, 15);
+
+        Assertions.assertTrue(bank.transfer(from, new CreditAccount(0, 5_000, 15), 1_000));
+        Assertions.assertFalse(bank.transfer(from, new CreditAccount(0, 5_000, 15), 1));
+    }
+
+    // Негативный сценарий: сумма, округляющаяся до нуля, не переводится
+    @Test
+    public void shouldRejectAmountRoundedToZero() {
+        Bank bank = new Bank();
+        bank.setFxRates(rates);
+        SavingAccount from = new SavingAccount(1_000, 0, 10_000, 5);
+        CreditAccount to = new CreditAccount(0, 5_000, 15, 1);
+
+        Assertions.assertFalse(bank.transfer(from, to, 50));
+        Assertions.assertEquals(1_000, from.getBalance());
+    }
+
+    // Позитивный сценарий: история хранит и сумму списания, и сумму зачисления по курсу перевода
+    @Test
+    public void shouldRecordCreditedAmount() {
+        TransferHistory history = new TransferHistory(() -> 0);
+        Bank bank = new Bank(null, history);
+        bank.setFxRates(rates);
+        CreditAccount from = new CreditAccount(1_000, 5_000, 15, 1);
+        SavingAccount to = new SavingAccount(0, 0, 1_000_000, 5);
+
+        bank.transfer(from, to, 100);
+        bank.setFxRates(new FxRates(1_000_000, 100_000_000, 12_400_000));
+        bank.transfer(from, to, 100);
+
+        List<TransferRecord> found = history.findByAccount(from, 0, 0).getRecords();
+        Assertions.assertEquals(100, found.get(0).getAmount());
+        Assertions.assertEquals(9_050, found.get(0).getCredited());
+        Assertions.assertEquals(10_000, found.get(1).getCredited());
+    }
+
+    // Негативный сценарий: лимит суммы одинаков для счетов в разных валютах
+    @Test
+    public void shouldApplyLimitInBaseCurrency() {
+        Bank bank = new Bank(new VelocityLimiter(60_000, 6, 100, 10_000, () -> 0));
+        bank.setFxRates(rates);
+        CreditAccount rub = new CreditAccount(100_000, 5_000, 15);
+        CreditAccount usd = new CreditAccount(1_000, 5_000, 15, 1);
+        CreditAccount target = new CreditAccount(0, 5_000, 15, 1);
+
+        // 100 долларов = 9050 рублей укладываются в лимит 10000, ещё 100 - уже нет
+        Assertions.assertTrue(bank.transfer(usd, target, 100));
+        Assertions.assertFalse(bank.transfer(usd, target, 100));
+        Assertions.assertEquals(900, usd.getBalance());
+
+        // рублёвый счёт упирается в тот же лимит 10000 в базовой валюте
+        Assertions.assertTrue(bank.transfer(rub, new CreditAccount(0, 5_000, 15), 10_000));
+        Assertions.assertFalse(bank.transfer(rub, new CreditAccount(0, 5_000, 15), 1));
+    }
+
+    // Негативный сценарий: номер валюты счёта не может быть отрицательным
+    @Test
+    public void shouldThrowIfCurrencyNegative() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CreditAccount(0, 5_000, 15, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SavingAccount(0, 0, 1_000, 5, -1));
+    }
+
+    // Позитивный сценарий: счета без указания валюты создаются в валюте 0
+    @Test
+    public void shouldDefaultToCurrencyZero() {
+        Assertions.assertEquals(0, new CreditAccount(0, 5_000, 15).getCurrency());
+        Assertions.assertEquals(2, new SavingAccount(0, 0, 1_000, 5, 2).getCurrency());
+    }
+}
@@ -0,0 +1,176 @@
+package ru.netology.javaqadiplom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TransferHistoryTest {
+    private long now = 0;
+
+    // Тесты метода findByAccount()
+
+    // Позитивный сценарий: находятся переводы счёта только за указанный интервал
+    @Test
+    public void shouldFindTransfersInTimeRange() {
+        TransferHistory history = new TransferHistory(() -> now);
+        Account first = new CreditAccount(0, 5_000, 15);
+        Account second = new CreditAccount(0, 5_000, 15);
+        Account third = new CreditAccount(0, 5_000, 15);
+
+        for (int i = 0; i < 10; i++) {
+            now = i * 1_000L;
+            history.record(first, second, 100 + i, 100 + i, TransferRecord.Status.COMPLETED);
+            history.record(second, third, 200 + i, 200 + i, TransferRecord.Status.COMPLETED);
+        }
+
+        List<TransferRecord> found = history.findByAccount(first, 3_000, 5_000).getRecords();
+        Assertions.assertEquals(3, found.size());
+        Assertions.assertEquals(103, found.get(0).getAmount());
+        Assertions.assertEquals(105, found.get(2).getAmount());
+        Assertions.assertEquals(6, history.findByAccount(second, 3_000, 5_000).getRecords().size());
+    }
+
+    // Позитивный сценарий: запрос по счёту, которого нет в истории, возвращает пустой список
+    @Test
+    public void shouldReturnEmptyForUnknownAccount() {
+        TransferHistory history = new TransferHistory(() -> now);
+        history.record(new CreditAccount(0, 5_000, 15), new CreditAccount(0, 5_000, 15), 100, 100,
+                TransferRecord.Status.COMPLETED);
+
+        Assertions.assertTrue(history.findByAccount(new CreditAccount(0, 5_000, 15), 0, 10).getRecords().isEmpty());
+    }
+
+    // Позитивный сценарий: поиск работает, когда записи занимают несколько сегментов
+    @Test
+    public void shouldFindAcrossSegments() {
+        TransferHistory history = new TransferHistory(() -> now);
+        Account from = new CreditAccount(0, 5_000, 15);
+        Account to = new CreditAccount(0, 5_000, 15);
+        int total = TransferHistory.SEGMENT_SIZE * 2 + 10;
+        for (int i = 0; i < total; i++) {
+            now = i;
+            history.record(from, to, 1, 1, TransferRecord.Status.COMPLETED);
+        }
+
+        Assertions.assertEquals(total, history.size());
+        Assertions.assertEquals(21, history.findByAccount(to, TransferHistory.SEGMENT_SIZE - 10,
+                TransferHistory.SEGMENT_SIZE + 10).getRecords().size());
+    }
+
+    // Позитивный сценарий: в памяти остаются только последние maxSegments сегментов,
+    // а запрос за вытесненный интервал помечается неполным
+    @Test
+    public void shouldReportEvictedRange() {
+        TransferHistory history = new TransferHistory(() -> now, 2);
+        Account from = new CreditAccount(0, 5_000, 15);
+        Account to = new CreditAccount(0, 5_000, 15);
+        int total = TransferHistory.SEGMENT_SIZE * 3;
+        for (int i = 0; i < total; i++) {
+            now = i;
+            history.record(from, to, 1, 1, TransferRecord.Status.COMPLETED);
+        }
+
+        Assertions.assertEquals(total, history.size());
+        Assertions.assertEquals(TransferHistory.SEGMENT_SIZE - 1, history.getEvictedUpTo());
+        Assertions.assertEquals(TransferHistory.SEGMENT_SIZE, history.getOldestRetainedPosition());
+
+        TransferQueryResult old = history.findByAccount(from, 0, TransferHistory.SEGMENT_SIZE - 1);
+        Assertions.assertFalse(old.isComplete());
+        Assertions.assertTrue(old.getRecords().isEmpty());
+
+        TransferQueryResult all = history.findByAccount(from, 0, total);
+        Assertions.assertFalse(all.isComplete());
+        Assertions.assertEquals(TransferHistory.SEGMENT_SIZE * 2, all.getRecords().size());
+
+        TransferQueryResult recent = history.findByAccount(from, TransferHistory.SEGMENT_SIZE, total);
+        Assertions.assertTrue(recent.isComplete());
+        Assertions.assertEquals(TransferHistory.SEGMENT_SIZE * 2, recent.getRecords().size());
+        Assertions.assertFalse(history.findRejectedPays(from).isComplete());
+    }
+
+    // Позитивный сценарий: пока ничего не вытеснено, любой запрос полный
+    @Test
+    public void shouldBeCompleteWithoutEviction() {
+        TransferHistory history = new TransferHistory(() -> now);
+        Account from = new CreditAccount(0, 5_000, 15);
+        history.record(from, new CreditAccount(0, 5_000, 15), 1, 1, TransferRecord.Status.COMPLETED);
+
+        Assertions.assertEquals(Long.MIN_VALUE, history.getEvictedUpTo());
+        Assertions.assertEquals(0, history.getOldestRetainedPosition());
+        Assertions.assertTrue(history.findByAccount(from, Long.MIN_VALUE, Long.MAX_VALUE).isComplete());
+        Assertions.assertTrue(history.findRejectedPays(from).isComplete());
+    }
+
+    // Позитивный сценарий: параллельная запись не теряет записей
+    @Test
+    public void shouldRecordConcurrently() throws InterruptedException {
+        TransferHistory history = new TransferHistory(() -> now);
+        Account[] accounts = new Account[8];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = new CreditAccount(0, 5_000, 15);
+        }
+        int perThread = TransferHistory.SEGMENT_SIZE;
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            Account from = accounts[t];
+            Account to = accounts[t + 4];
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    history.record(from, to, 1, 1, TransferRecord.Status.COMPLETED);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(perThread * 4L, history.size());
+        for (Account account : accounts) {
+            Assertions.assertEquals(perThread, history.findByAccount(account, 0, 0).getRecords().size());
+        }
+    }
+
+    // Тесты метода findRejectedPays()
+
+    // Позитивный сценарий: Bank записывает отказы pay по сберегательному счёту
+    @Test
+    public void shouldFindRejectedPaysFromBank() {
+        TransferHistory history = new TransferHistory(() -> now);
+        Bank bank = new Bank(null, history);
+        SavingAccount from = new SavingAccount(1_000, 500, 10_000, 5);
+        SavingAccount to = new SavingAccount(0, 0, 10_000, 5);
+
+        Assertions.assertTrue(bank.transfer(from, to, 300));
+        Assertions.assertFalse(bank.transfer(from, to, 300));
+        Assertions.assertTrue(bank.transfer(to, from, 100));
+
+        List<TransferRecord> rejected = history.findRejectedPays(from).getRecords();
+        Assertions.assertEquals(1, rejected.size());
+        Assertions.assertEquals(300, rejected.get(0).getAmount());
+        Assertions.assertSame(to, rejected.get(0).getTo());
+        Assertions.assertTrue(history.findRejectedPays(to).getRecords().isEmpty());
+        Assertions.assertEquals(3, history.findByAccount(from, 0, 0).getRecords().size());
+    }
+
+    // Негативный сценарий: получатель упирается в maxBalance, деньги возвращаются отправителю
+    @Test
+    public void shouldRollbackWhenTargetOverMaxBalance() {
+        TransferHistory history = new TransferHistory(() -> now);
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 1, 1_000_000, () -> now);
+        Bank bank = new Bank(limiter, history);
+        SavingAccount from = new SavingAccount(1_000, 0, 10_000, 1);
+        SavingAccount to = new SavingAccount(9_950, 0, 10_000, 1);
+
+        Assertions.assertFalse(bank.transfer(from, to, 100));
+        Assertions.assertEquals(1_000, from.getBalance());
+        Assertions.assertEquals(9_950, to.getBalance());
+
+        List<TransferRecord> found = history.findByAccount(from, 0, 0).getRecords();
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals(TransferRecord.Status.REJECTED_ADD, found.get(0).getStatus());
+        // лимит не израсходован отменённым переводом
+        Assertions.assertTrue(limiter.tryAcquire(from, 100));
+    }
+}
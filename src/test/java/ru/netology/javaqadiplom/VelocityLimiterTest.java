@@ -0,0 +1,190 @@
+package ru.netology.javaqadiplom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VelocityLimiterTest {
+    private long now = 0;
+
+    // Тесты конструктора
+
+    // Негативный сценарий: некорректные параметры конструктора
+    @ParameterizedTest
+    @CsvSource({
+            "60000,  0, 5, 1000",  // нет корзин
+            "60000,  7, 5, 1000",  // окно не делится на количество корзин
+            "0,      6, 5, 1000",  // нулевое окно
+            "60000,  6, 0, 1000",  // нулевой лимит количества
+            "60000,  6, 5, 0"      // нулевой лимит суммы
+    })
+    public void shouldThrowOnInvalidParams(long window, int buckets, int maxCount, long maxAmount) {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new VelocityLimiter(window, buckets, maxCount, maxAmount, () -> now)
+        );
+    }
+
+    // Тесты метода tryAcquire()
+
+    // Негативный сценарий: лимит количества списаний в окне
+    @Test
+    public void shouldRejectWhenCountLimitReached() {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 2, 1_000_000, () -> now);
+        Account account = new CreditAccount(0, 5_000, 15);
+
+        Assertions.assertTrue(limiter.tryAcquire(account, 100));
+        Assertions.assertTrue(limiter.tryAcquire(account, 100));
+        Assertions.assertFalse(limiter.tryAcquire(account, 100));
+    }
+
+    // Негативный сценарий: лимит суммы списаний в окне
+    @Test
+    public void shouldRejectWhenAmountLimitReached() {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 10, 1_000, () -> now);
+        Account account = new CreditAccount(0, 5_000, 15);
+
+        Assertions.assertTrue(limiter.tryAcquire(account, 600));
+        Assertions.assertFalse(limiter.tryAcquire(account, 401));
+        Assertions.assertTrue(limiter.tryAcquire(account, 400));
+    }
+
+    // Позитивный сценарий: старые корзины выходят из окна
+    @Test
+    public void shouldAllowAgainWhenWindowSlides() {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 2, 1_000_000, () -> now);
+        Account account = new CreditAccount(0, 5_000, 15);
+
+        limiter.tryAcquire(account, 100);
+        now = 30_000;
+        limiter.tryAcquire(account, 100);
+        Assertions.assertFalse(limiter.tryAcquire(account, 100));
+
+        now = 60_000; // первое списание вышло из окна, второе ещё в нём
+        Assertions.assertTrue(limiter.tryAcquire(account, 100));
+        Assertions.assertFalse(limiter.tryAcquire(account, 100));
+    }
+
+    // Позитивный сценарий: лимиты считаются отдельно для каждого счёта
+    @Test
+    public void shouldCountAccountsSeparately() {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 1, 1_000_000, () -> now);
+        Account first = new CreditAccount(0, 5_000, 15);
+        Account second = new CreditAccount(0, 5_000, 15);
+
+        Assertions.assertTrue(limiter.tryAcquire(first, 100));
+        Assertions.assertTrue(limiter.tryAcquire(second, 100));
+        Assertions.assertFalse(limiter.tryAcquire(first, 100));
+    }
+
+    // Позитивный сценарий: при параллельных списаниях лимит не превышается
+    @Test
+    public void shouldNotExceedLimitConcurrently() throws InterruptedException {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 500, 1_000_000, () -> now);
+        Account account = new CreditAccount(0, 5_000, 15);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 2_000; i++) {
+            pool.execute(() -> {
+                if (limiter.tryAcquire(account, 1)) {
+                    accepted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(500, accepted.get());
+    }
+
+    // Тесты метода release()
+
+    // Позитивный сценарий: отмена снимает списание с той корзины, в которой оно было учтено
+    @Test
+    public void shouldReleaseChargedBucketAfterBoundary() {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 2, 1_000_000, () -> now);
+        Account account = new CreditAccount(0, 5_000, 15);
+
+        now = 9_999;
+        long first = limiter.acquire(account, 100);
+        now = 10_000; // граница корзины между резервированием и отменой
+        limiter.acquire(account, 100);
+        limiter.release(account, 100, first);
+
+        Assertions.assertTrue(limiter.tryAcquire(account, 100));
+        Assertions.assertFalse(limiter.tryAcquire(account, 100));
+    }
+
+    // Тесты удаления устаревших окон
+
+    // Позитивный сценарий: окна счетов без списаний дольше длины окна удаляются
+    @Test
+    public void shouldEvictStaleWindows() {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 1_000, 1_000_000, () -> now);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(new CreditAccount(0, 5_000, 15), 100);
+        }
+        Assertions.assertEquals(100, limiter.getTrackedAccounts());
+
+        now = 60_000;
+        Account active = new CreditAccount(0, 5_000, 15);
+        Assertions.assertTrue(limiter.tryAcquire(active, 100));
+        // за одно списание проверяется не больше SWEEP_BATCH окон
+        Assertions.assertTrue(limiter.getTrackedAccounts() >= 101 - VelocityLimiter.SWEEP_BATCH);
+
+        for (int i = 0; i < 100 / VelocityLimiter.SWEEP_BATCH + 1; i++) {
+            limiter.tryAcquire(active, 1);
+        }
+        Assertions.assertEquals(1, limiter.getTrackedAccounts());
+    }
+
+    // Позитивный сценарий: окно, в котором ещё есть списания, не удаляется
+    @Test
+    public void shouldKeepWindowsInsideWindow() {
+        VelocityLimiter limiter = new VelocityLimiter(60_000, 6, 2, 1_000_000, () -> now);
+        Account account = new CreditAccount(0, 5_000, 15);
+        limiter.tryAcquire(new CreditAccount(0, 5_000, 15), 100);
+        now = 50_000;
+        limiter.tryAcquire(account, 100);
+        limiter.tryAcquire(account, 100);
+
+        now = 60_000; // проходит очистка, но списания счёта ещё в окне
+        limiter.tryAcquire(new CreditAccount(0, 5_000, 15), 100);
+        Assertions.assertEquals(2, limiter.getTrackedAccounts());
+        Assertions.assertFalse(limiter.tryAcquire(account, 100));
+    }
+
+    // Тесты перевода через Bank
+
+    // Негативный сценарий: перевод сверх лимита не выполняется и балансы не меняются
+    @Test
+    public void shouldRejectTransferOverLimit() {
+        Bank bank = new Bank(new VelocityLimiter(60_000, 6, 1, 1_000_000, () -> now));
+        CreditAccount from = new CreditAccount(1_000, 5_000, 15);
+        CreditAccount to = new CreditAccount(0, 5_000, 15);
+
+        Assertions.assertTrue(bank.transfer(from, to, 100));
+        Assertions.assertFalse(bank.transfer(from, to, 100));
+        Assertions.assertEquals(900, from.getBalance());
+        Assertions.assertEquals(100, to.getBalance());
+    }
+
+    // Позитивный сценарий: неудавшееся списание не расходует лимит
+    @Test
+    public void shouldNotCountFailedPay() {
+        Bank bank = new Bank(new VelocityLimiter(60_000, 6, 1, 1_000_000, () -> now));
+        SavingAccount from = new SavingAccount(1_000, 500, 10_000, 5);
+        SavingAccount to = new SavingAccount(0, 0, 10_000, 5);
+
+        bank.transfer(from, to, 900);
+        Assertions.assertTrue(bank.transfer(from, to, 100));
+        Assertions.assertEquals(900, from.getBalance());
+        Assertions.assertEquals(100, to.getBalance());
+    }
+}
@@ -0,0 +1,164 @@
+package ru.netology.javaqadiplom.load;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import ru.netology.javaqadiplom.Account;
+import ru.netology.javaqadiplom.Bank;
+import ru.netology.javaqadiplom.SavingAccount;
+
+import java.util.Arrays;
+
+public class LoadRunnerTest {
+
+    // Тесты класса Workload
+
+    // Позитивный сценарий: одно и то же зерно даёт одну и ту же нагрузку
+    @Test
+    public void shouldGenerateSameWorkloadForSameSeed() {
+        Workload first = new Workload(42, 1_000, 100, 50, 5, 80, 1, 1_000, 10);
+        Workload second = new Workload(42, 1_000, 100, 50, 5, 80, 1, 1_000, 10);
+
+        for (int i = 0; i < first.size(); i++) {
+            Assertions.assertEquals(first.getFrom(i), second.getFrom(i));
+            Assertions.assertEquals(first.getTo(i), second.getTo(i));
+            Assertions.assertEquals(first.getAmount(i), second.getAmount(i));
+        }
+        Account[] firstAccounts = first.createAccounts();
+        Account[] secondAccounts = second.createAccounts();
+        for (int i = 0; i < firstAccounts.length; i++) {
+            Assertions.assertEquals(firstAccounts[i].getClass(), secondAccounts[i].getClass());
+        }
+    }
+
+    // Позитивный сценарий: горячие счета, доля отказов и доля сберегательных счетов соблюдаются
+    @Test
+    public void shouldRespectSkewAndShares() {
+        Workload workload = new Workload(7, 10_000, 100, 100, 5, 100, 1, 1_000, 0);
+
+        for (int i = 0; i < workload.size(); i++) {
+            Assertions.assertTrue(workload.getFrom(i) < 5);
+            Assertions.assertNotEquals(workload.getFrom(i), workload.getTo(i));
+            Assertions.assertTrue(workload.getAmount(i) >= 1 && workload.getAmount(i) <= 1_000);
+        }
+        for (Account account : workload.createAccounts()) {
+            Assertions.assertTrue(account instanceof SavingAccount);
+        }
+    }
+
+    // Позитивный сценарий: скошенные распределения не выходят за границы,
+    // а крупные переводы дают непропорционально большую часть оборота
+    @ParameterizedTest
+    @EnumSource(value = AmountDistribution.class, names = {"LOG_NORMAL", "PARETO"})
+    public void shouldGenerateSkewedAmounts(AmountDistribution distribution) {
+        Workload workload = new Workload(3, 10_000, 100, 50, 5, 50, 1, 1_000_000, 0, distribution);
+        long[] amounts = new long[workload.size()];
+        long total = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            amounts[i] = workload.getAmount(i);
+            Assertions.assertTrue(amounts[i] >= 1 && amounts[i] <= 1_000_000);
+            total += amounts[i];
+        }
+        Arrays.sort(amounts);
+        long top = 0;
+        for (int i = amounts.length * 9 / 10; i < amounts.length; i++) {
+            top += amounts[i];
+        }
+
+        // у равномерного распределения верхние 10 процентов дают около 19 процентов оборота
+        Assertions.assertTrue(top * 2 > total);
+        Assertions.assertTrue(amounts[amounts.length / 2] < 1_000_000 / 10);
+        Assertions.assertEquals(distribution, workload.getDistribution());
+    }
+
+    // Позитивный сценарий: по умолчанию суммы распределены равномерно
+    @Test
+    public void shouldDefaultToUniformAmounts() {
+        Assertions.assertEquals(AmountDistribution.UNIFORM,
+                new Workload(1, 10, 10, 50, 1, 0, 1, 10, 0).getDistribution());
+    }
+
+    // Негативный сценарий: некорректная доля
+    @Test
+    public void shouldThrowOnInvalidShare() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new Workload(1, 10, 10, 101, 1, 0, 1, 10, 0)
+        );
+    }
+
+    // Тесты класса LoadReport
+
+    // Позитивный сценарий: перцентили считаются по отсортированным задержкам
+    @Test
+    public void shouldCalculatePercentiles() {
+        long[] latencies = new long[100];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = 100 - i;
+        }
+        LoadReport report = new LoadReport(100, 1_000_000_000L, latencies);
+
+        Assertions.assertEquals(50, report.getLatencyPercentile(50));
+        Assertions.assertEquals(99, report.getLatencyPercentile(99));
+        Assertions.assertEquals(100, report.getLatencyPercentile(100));
+        Assertions.assertEquals(100.0, report.getThroughput(), 0.001);
+    }
+
+    // Тесты класса LoadRunner
+
+    // Позитивный сценарий: все переводы нагрузки выполняются и попадают в отчёт
+    @Test
+    public void shouldRunAllOperations() {
+        Workload workload = new Workload(1, 500, 20, 50, 2, 50, 1, 100, 0);
+        LoadReport report = new LoadRunner().run(new Bank(), workload, 100_000);
+
+        Assertions.assertEquals(500, report.getOperations());
+        Assertions.assertEquals(500, report.getAccepted());
+        Assertions.assertTrue(report.getLatencyPercentile(50) >= 0);
+    }
+
+    // Позитивный сценарий: переводы на неподъёмную сумму не считаются принятыми
+    @Test
+    public void shouldNotCountRejectedTransfers() {
+        Workload workload = new Workload(1, 2_000, 20, 50, 2, 50, 1, 100, 50);
+        int payable = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            if (workload.getAmount(i) != Workload.REJECTED_AMOUNT) {
+                payable++;
+            }
+        }
+        LoadReport report = new LoadRunner().run(new Bank(), workload, 100_000);
+
+        Assertions.assertEquals(2_000, report.getOperations());
+        Assertions.assertEquals(payable, report.getAccepted());
+        Assertions.assertTrue(payable > 800 && payable < 1_200);
+    }
+
+    // Позитивный сценарий: несколько потоков выполняют все переводы и считают принятые
+    @Test
+    public void shouldRunWithSeveralThreads() {
+        Workload workload = new Workload(5, 2_000, 20, 50, 2, 50, 1, 100, 50, AmountDistribution.PARETO);
+        int payable = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            if (workload.getAmount(i) != Workload.REJECTED_AMOUNT) {
+                payable++;
+            }
+        }
+        LoadReport report = new LoadRunner().run(new Bank(), workload, 100_000, 4);
+
+        Assertions.assertEquals(2_000, report.getOperations());
+        Assertions.assertEquals(payable, report.getAccepted());
+        Assertions.assertTrue(report.getLatencyPercentile(100) >= 0);
+    }
+
+    // Негативный сценарий: некорректное количество потоков
+    @Test
+    public void shouldThrowOnInvalidThreads() {
+        Workload workload = new Workload(1, 10, 10, 50, 1, 0, 1, 10, 0);
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new LoadRunner().run(new Bank(), workload, 1_000, 0)
+        );
+    }
+}